@@ -0,0 +1,9 @@
+package com.llm.connector.cache;
+
+/**
+ * Turns text into an embedding vector for semantic lookups.
+ */
+@FunctionalInterface
+public interface EmbeddingBackend {
+    float[] embed(String text);
+}
@@ -0,0 +1,340 @@
+package com.llm.connector.cache;
+
+import com.llm.connector.exception.LlmException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Approximate nearest-neighbour index over unit vectors using a hierarchical
+ * navigable small-world graph, scored by cosine similarity.
+ *
+ * <p>
+ * Vectors are normalised and packed into a single off-heap buffer. The buffer
+ * starts small and doubles as vectors are added, up to {@code capacity}
+ * vectors ({@code capacity * dimensions * 4} bytes). Removal only marks a node
+ * deleted: it is still used for navigation but never returned. Before the
+ * index {@link #isFull()} the owner is expected to build a replacement from its
+ * live entries.
+ *
+ * <p>
+ * Not thread-safe for writes; concurrent {@link #search} calls are safe when
+ * no {@link #add} or {@link #remove} runs at the same time.
+ */
+public class HnswIndex {
+
+    /** A search hit: node id and cosine similarity to the query. */
+    public record Match(int id, float similarity) {
+    }
+
+    private static final int INITIAL_VECTORS = 1024;
+
+    private final int dimensions;
+    private final int capacity;
+    private final int m;
+    private final int efConstruction;
+    private final double levelFactor;
+    private FloatBuffer vectors;
+    private int[][][] links; // [node][level] -> {count, neighbour ids...}
+    private final BitSet deleted = new BitSet();
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int capacity, int m, int efConstruction) {
+        if (dimensions < 1 || capacity < 1 || m < 2 || efConstruction < 1)
+            throw new LlmException("Invalid HNSW index parameters.");
+        this.dimensions = dimensions;
+        this.capacity = capacity;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1.0 / Math.log(m);
+        Math.multiplyExact(Math.multiplyExact(capacity, dimensions), 4); // fail fast if it can never fit
+        int initial = Math.min(capacity, INITIAL_VECTORS);
+        this.vectors = allocate(initial);
+        this.links = new int[initial][][];
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /** Number of slots used, including removed nodes. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Adds a vector and returns its node id.
+     */
+    public int add(float[] vector) {
+        if (isFull())
+            throw new LlmException("HNSW index is full.");
+        float[] query = normalize(vector);
+        if (size == links.length)
+            grow();
+        int id = size++;
+        vectors.put(id * dimensions, query);
+
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelFactor);
+        links[id] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[id][l] = new int[maxConnections(l) + 1];
+        }
+
+        if (entryPoint < 0) {
+            entryPoint = id;
+            maxLevel = level;
+            return id;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Match> candidates = searchLayer(query, current, efConstruction, l, null, Integer.MAX_VALUE);
+            List<Match> neighbours = candidates.subList(0, Math.min(m, candidates.size()));
+            for (Match neighbour : neighbours) {
+                connect(id, neighbour.id(), l);
+                connect(neighbour.id(), id, l);
+            }
+            current = candidates.get(0).id();
+        }
+        if (level > maxLevel) {
+            entryPoint = id;
+            maxLevel = level;
+        }
+        return id;
+    }
+
+    public void remove(int id) {
+        deleted.set(id);
+    }
+
+    /**
+     * Returns up to {@code k} live nodes most similar to {@code vector}, best
+     * first. {@code ef} trades recall for speed and is raised to {@code k} if
+     * smaller.
+     */
+    public List<Match> search(float[] vector, int k, int ef) {
+        return search(vector, k, ef, id -> true);
+    }
+
+    /**
+     * Like {@link #search(float[], int, int)}, but only returns nodes accepted
+     * by {@code filter}. Rejected nodes are still traversed, so they do not
+     * use up the {@code ef} result budget.
+     */
+    public List<Match> search(float[] vector, int k, int ef, IntPredicate filter) {
+        return search(vector, k, ef, filter, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #search(float[], int, int, IntPredicate)}, but gives up after
+     * scoring {@code maxVisits} nodes on the bottom layer. This bounds the cost
+     * when the filter rejects most of the graph, at the price of missing
+     * accepted nodes that lie beyond the cap.
+     */
+    public List<Match> search(float[] vector, int k, int ef, IntPredicate filter, int maxVisits) {
+        if (entryPoint < 0)
+            return List.of();
+        float[] query = normalize(vector);
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        List<Match> matches = searchLayer(query, current, Math.max(ef, k), 0,
+                id -> !deleted.get(id) && filter.test(id), maxVisits);
+        return matches.size() > k ? matches.subList(0, k) : matches;
+    }
+
+    /**
+     * Returns a copy of the stored (normalised) vector.
+     */
+    public float[] vector(int id) {
+        float[] copy = new float[dimensions];
+        vectors.get(id * dimensions, copy);
+        return copy;
+    }
+
+    private void grow() {
+        int grown = (int) Math.min((long) links.length * 2, capacity);
+        FloatBuffer larger = allocate(grown);
+        larger.put(0, vectors, 0, size * dimensions);
+        vectors = larger;
+        links = Arrays.copyOf(links, grown);
+    }
+
+    private FloatBuffer allocate(int vectorCount) {
+        return ByteBuffer.allocateDirect(vectorCount * dimensions * 4)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? 2 * m : m;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[current][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float s = similarity(query, neighbours[i]);
+                if (s > best) {
+                    best = s;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one layer; returns up to {@code ef} nodes accepted by
+     * {@code filter} (all nodes if {@code null}), best first, scoring at most
+     * {@code maxVisits} nodes.
+     */
+    private List<Match> searchLayer(float[] query, int start, int ef, int level, IntPredicate filter,
+            int maxVisits) {
+        BitSet visited = new BitSet(size);
+        int visits = 1;
+        PriorityQueue<Match> candidates = new PriorityQueue<>(
+                Comparator.comparingDouble(Match::similarity).reversed());
+        PriorityQueue<Match> results = new PriorityQueue<>(Comparator.comparingDouble(Match::similarity));
+
+        Match first = new Match(start, similarity(query, start));
+        visited.set(start);
+        candidates.add(first);
+        if (filter == null || filter.test(start))
+            results.add(first);
+
+        while (!candidates.isEmpty() && visits < maxVisits) {
+            Match candidate = candidates.poll();
+            if (results.size() >= ef && candidate.similarity() < results.peek().similarity())
+                break;
+            int[][] nodeLinks = links[candidate.id()];
+            if (level >= nodeLinks.length)
+                continue;
+            int[] neighbours = nodeLinks[level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour))
+                    continue;
+                visited.set(neighbour);
+                visits++;
+                float s = similarity(query, neighbour);
+                if (results.size() < ef || s > results.peek().similarity()) {
+                    Match match = new Match(neighbour, s);
+                    candidates.add(match);
+                    if (filter == null || filter.test(neighbour)) {
+                        results.add(match);
+                        if (results.size() > ef)
+                            results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Match> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(Match::similarity).reversed());
+        return sorted;
+    }
+
+    /**
+     * Adds {@code to} to the neighbour list of {@code from}, dropping the least
+     * similar neighbour when the list is full.
+     */
+    private void connect(int from, int to, int level) {
+        int[] neighbours = links[from][level];
+        int count = neighbours[0];
+        if (count < neighbours.length - 1) {
+            neighbours[count + 1] = to;
+            neighbours[0] = count + 1;
+            return;
+        }
+        int worstSlot = -1;
+        float worst = similarity(from, to);
+        for (int i = 1; i <= count; i++) {
+            float s = similarity(from, neighbours[i]);
+            if (s < worst) {
+                worst = s;
+                worstSlot = i;
+            }
+        }
+        if (worstSlot > 0)
+            neighbours[worstSlot] = to;
+    }
+
+    // Four independent accumulators let the JIT overlap the multiply-adds;
+    // a single running sum serialises on the float add latency.
+    private float similarity(float[] query, int id) {
+        int base = id * dimensions;
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (; i + 3 < dimensions; i += 4) {
+            s0 += query[i] * vectors.get(base + i);
+            s1 += query[i + 1] * vectors.get(base + i + 1);
+            s2 += query[i + 2] * vectors.get(base + i + 2);
+            s3 += query[i + 3] * vectors.get(base + i + 3);
+        }
+        for (; i < dimensions; i++) {
+            s0 += query[i] * vectors.get(base + i);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private float similarity(int a, int b) {
+        int baseA = a * dimensions;
+        int baseB = b * dimensions;
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (; i + 3 < dimensions; i += 4) {
+            s0 += vectors.get(baseA + i) * vectors.get(baseB + i);
+            s1 += vectors.get(baseA + i + 1) * vectors.get(baseB + i + 1);
+            s2 += vectors.get(baseA + i + 2) * vectors.get(baseB + i + 2);
+            s3 += vectors.get(baseA + i + 3) * vectors.get(baseB + i + 3);
+        }
+        for (; i < dimensions; i++) {
+            s0 += vectors.get(baseA + i) * vectors.get(baseB + i);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimensions)
+            throw new LlmException("Expected a vector of " + dimensions + " dimensions but got " + vector.length);
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+        float[] normalized = new float[dimensions];
+        if (norm == 0)
+            return normalized;
+        for (int i = 0; i < dimensions; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,82 @@
+package com.llm.connector.cache;
+
+import com.llm.connector.exception.ProviderException;
+import com.llm.connector.transport.HttpTransport;
+import com.llm.connector.transport.JdkHttpTransport;
+import com.llm.connector.transport.TransportRequest;
+import com.llm.connector.transport.TransportResponse;
+import com.llm.connector.util.JsonUtil;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embeddings from a local Ollama server ({@code /api/embeddings}).
+ */
+public class OllamaEmbeddingBackend implements EmbeddingBackend {
+
+    private final HttpTransport transport;
+    private final String baseUrl;
+    private final String model;
+    private final Duration timeout;
+
+    public OllamaEmbeddingBackend(String model) {
+        this(new JdkHttpTransport(), "http://localhost:11434", model, Duration.ofSeconds(30));
+    }
+
+    public OllamaEmbeddingBackend(HttpTransport transport, String baseUrl, String model, Duration timeout) {
+        this.transport = transport;
+        this.baseUrl = baseUrl;
+        this.model = model;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        String jsonBody = JsonUtil.toJson(Map.of("model", model, "prompt", text));
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+
+        TransportRequest httpRequest = TransportRequest.post(URI.create(baseUrl + "/api/embeddings"), headers,
+                jsonBody, timeout);
+
+        try {
+            TransportResponse response = transport.send(httpRequest);
+
+            if (response.statusCode() >= 400) {
+                throw new ProviderException(
+                        "Ollama embeddings error: " + response.statusCode() + " - " + response.bodyAsString());
+            }
+
+            return parseResponse(response.bodyAsString());
+        } catch (IOException e) {
+            throw new ProviderException("Failed to call Ollama embeddings API", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while calling Ollama embeddings API", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private float[] parseResponse(String responseBody) {
+        List<?> embedding;
+        try {
+            Map<String, Object> root = JsonUtil.fromJson(responseBody, Map.class);
+            embedding = (List<?>) root.get("embedding");
+        } catch (Exception e) {
+            throw new ProviderException("Failed to parse Ollama embeddings response", e);
+        }
+        if (embedding == null || embedding.isEmpty())
+            throw new ProviderException("Ollama returned no embedding for model " + model);
+        float[] vector = new float[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = ((Number) embedding.get(i)).floatValue();
+        }
+        return vector;
+    }
+}
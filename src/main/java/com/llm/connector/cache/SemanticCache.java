@@ -0,0 +1,503 @@
+package com.llm.connector.cache;
+
+import com.llm.connector.config.LlmConfig;
+import com.llm.connector.core.LlmProvider;
+import com.llm.connector.core.LlmRequest;
+import com.llm.connector.core.LlmResponse;
+import com.llm.connector.exception.LlmException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Response cache that matches prompts by meaning rather than exact text.
+ *
+ * <p>
+ * Prompts are embedded with an {@link EmbeddingBackend} and looked up in an
+ * in-memory {@link HnswIndex}. A cached response is returned when its prompt's
+ * cosine similarity reaches the threshold and it was produced with the same
+ * model, temperature, token limit and candidate count. Each such combination
+ * has its own index, so a lookup never has to step over entries cached for
+ * other settings. Entries expire after the TTL, and the least recently used
+ * entries are evicted once either the entry limit or the cached text size
+ * limit is exceeded.
+ *
+ * <p>
+ * If embedding fails the request goes straight to the provider and is not
+ * cached. Hits carry their similarity under the
+ * {@code semanticCacheSimilarity} metadata key.
+ */
+public class SemanticCache {
+
+    public static final String SIMILARITY_METADATA_KEY = "semanticCacheSimilarity";
+
+    /** Lookup visits at most this many index nodes per unit of {@code efSearch}. */
+    private static final int VISITS_PER_EF = 16;
+
+    /**
+     * A rebuild re-reads entries added since its last pass at most this many
+     * times, or until no more than {@link #SWAP_CATCH_UP} are left for the
+     * write-locked swap.
+     */
+    private static final int MAX_CATCH_UP_PASSES = 3;
+    private static final int SWAP_CATCH_UP = 16;
+
+    private final EmbeddingBackend backend;
+    private final double similarityThreshold;
+    private final int maxEntries;
+    private final long maxTextBytes;
+    private final Duration ttl;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Settings, Partition> partitions = new HashMap<>();
+    private int dimensions; // fixed by the first insert; 0 while empty
+    private long textBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder embedCount = new LongAdder();
+    private final LongAdder embedNanos = new LongAdder();
+    private final LongAdder searchCount = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+
+    private SemanticCache(Builder builder) {
+        this.backend = builder.backend;
+        this.similarityThreshold = builder.similarityThreshold;
+        this.maxEntries = builder.maxEntries;
+        this.maxTextBytes = builder.maxTextBytes;
+        this.ttl = builder.ttl;
+        this.m = builder.m;
+        this.efConstruction = builder.efConstruction;
+        this.efSearch = builder.efSearch;
+    }
+
+    /**
+     * Returns a cached response for a similar prompt, or calls
+     * {@code provider} and caches its response.
+     */
+    public LlmResponse get(LlmRequest request, LlmConfig config, LlmProvider provider) {
+        float[] embedding;
+        long start = System.nanoTime();
+        try {
+            embedding = backend.embed(request.prompt());
+        } catch (RuntimeException e) {
+            errors.increment();
+            return provider.generate(request, config);
+        }
+        embedCount.increment();
+        embedNanos.add(System.nanoTime() - start);
+
+        Settings settings = Settings.of(request, config);
+        LlmResponse cached = lookup(embedding, settings);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        LlmResponse response = provider.generate(request, config);
+        put(embedding, settings, request.prompt(), response);
+        return response;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            partitions.clear();
+            dimensions = 0;
+            textBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SemanticCacheStats stats() {
+        int size;
+        long bytes;
+        lock.writeLock().lock();
+        try {
+            removeExpired();
+            size = size();
+            bytes = textBytes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new SemanticCacheStats(hits.sum(), misses.sum(), errors.sum(), evictions.sum(), size, bytes,
+                mean(embedNanos, embedCount), mean(searchNanos, searchCount));
+    }
+
+    private LlmResponse lookup(float[] embedding, Settings settings) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            Partition partition = partitions.get(settings);
+            if (partition == null || dimensions != embedding.length)
+                return null;
+            long now = System.nanoTime();
+            // Expired entries are filtered inside the search so they cannot crowd out a valid hit.
+            List<HnswIndex.Match> matches = partition.index.search(embedding, 1, efSearch, id -> {
+                Entry entry = partition.entries.get(id);
+                return entry != null && !entry.isExpired(now, ttl);
+            }, efSearch * VISITS_PER_EF);
+            if (matches.isEmpty() || matches.get(0).similarity() < similarityThreshold)
+                return null;
+            HnswIndex.Match match = matches.get(0);
+            Entry entry = partition.entries.get(match.id());
+            entry.lastAccessNanos = now;
+            Map<String, Object> metadata = entry.response.metadata() != null
+                    ? new HashMap<>(entry.response.metadata())
+                    : new HashMap<>();
+            metadata.put(SIMILARITY_METADATA_KEY, match.similarity());
+            return new LlmResponse(entry.response.text(), metadata, entry.response.finishReason(),
+                    entry.response.candidates());
+        } finally {
+            lock.readLock().unlock();
+            searchCount.increment();
+            searchNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void put(float[] embedding, Settings settings, String prompt, LlmResponse response) {
+        long bytes = 2L * prompt.length();
+        for (LlmResponse.Candidate candidate : response.candidates()) {
+            bytes += candidate.text() != null ? 2L * candidate.text().length() : 0;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (dimensions != embedding.length) {
+                partitions.clear();
+                textBytes = 0;
+                dimensions = embedding.length;
+            } else {
+                removeExpired();
+            }
+            Partition partition = partitions.computeIfAbsent(settings, Partition::new);
+            if (partition.index.isFull())
+                return; // a rebuild is still catching up; skip caching this response
+            int id = partition.index.add(embedding);
+            partition.entries.put(id, new Entry(response, bytes, System.nanoTime()));
+            textBytes += bytes;
+            if (size() > maxEntries || textBytes > maxTextBytes)
+                evict();
+            if (!partition.rebuilding && partition.index.size() >= rebuildThreshold())
+                partition.rebuildInBackground();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        int size = 0;
+        for (Partition partition : partitions.values()) {
+            size += partition.entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * Drops expired entries. Each partition keeps its entries in insertion
+     * order, so they expire from the head and the sweep stops at the first
+     * live one.
+     */
+    private void removeExpired() {
+        if (ttl == null)
+            return;
+        long now = System.nanoTime();
+        for (Iterator<Partition> partitionIt = partitions.values().iterator(); partitionIt.hasNext();) {
+            Partition partition = partitionIt.next();
+            Iterator<Map.Entry<Integer, Entry>> it = partition.entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, Entry> e = it.next();
+                if (!e.getValue().isExpired(now, ttl))
+                    break;
+                partition.index.remove(e.getKey());
+                removed(e.getValue());
+                it.remove();
+            }
+            if (partition.entries.isEmpty())
+                partitionIt.remove();
+        }
+    }
+
+    /**
+     * Drops least recently used entries, across all partitions, until both
+     * limits have 10% headroom, so eviction does not run on every insert.
+     */
+    private void evict() {
+        int entryTarget = maxEntries - maxEntries / 10;
+        long byteTarget = maxTextBytes - maxTextBytes / 10;
+        int size = size();
+        if (size <= entryTarget && textBytes <= byteTarget)
+            return;
+        List<Slot> byAge = new ArrayList<>(size);
+        for (Partition partition : partitions.values()) {
+            for (Map.Entry<Integer, Entry> e : partition.entries.entrySet()) {
+                byAge.add(new Slot(partition, e.getKey(), e.getValue()));
+            }
+        }
+        byAge.sort(Comparator.comparingLong(slot -> slot.entry().lastAccessNanos));
+        for (Slot slot : byAge) {
+            if (size <= entryTarget && textBytes <= byteTarget)
+                break;
+            slot.partition().index.remove(slot.id());
+            slot.partition().entries.remove(slot.id());
+            removed(slot.entry());
+            size--;
+        }
+        partitions.values().removeIf(partition -> partition.entries.isEmpty());
+    }
+
+    private void removed(Entry entry) {
+        textBytes -= entry.bytes;
+        evictions.increment();
+    }
+
+    private HnswIndex newIndex(int dimensions) {
+        // Twice the entry limit so rebuilds happen at most once per maxEntries / 2 evictions.
+        return new HnswIndex(dimensions, indexCapacity(), m, efConstruction);
+    }
+
+    private int indexCapacity() {
+        return Math.max(2 * maxEntries, 16);
+    }
+
+    /**
+     * Index size at which a rebuild starts, leaving a quarter of the slots for
+     * inserts made while it runs.
+     */
+    private int rebuildThreshold() {
+        return indexCapacity() - indexCapacity() / 4;
+    }
+
+    private static Duration mean(LongAdder totalNanos, LongAdder count) {
+        long n = count.sum();
+        return n == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / n);
+    }
+
+    /**
+     * Request settings that must match for a cached response to be reused.
+     */
+    private record Settings(String model, Double temperature, Integer maxTokens, int candidateCount) {
+        static Settings of(LlmRequest request, LlmConfig config) {
+            return new Settings(
+                    config.model(),
+                    request.temperature() != null ? request.temperature() : config.temperature(),
+                    request.maxTokens() != null ? request.maxTokens() : config.maxTokens(),
+                    request.effectiveCandidateCount());
+        }
+    }
+
+    /**
+     * Index and entries for one {@link Settings} value. Fields are guarded by
+     * the cache lock.
+     */
+    private final class Partition {
+        final Settings settings;
+        HnswIndex index;
+        Map<Integer, Entry> entries = new LinkedHashMap<>(); // oldest first
+        boolean rebuilding;
+
+        Partition(Settings settings) {
+            this.settings = settings;
+            this.index = newIndex(dimensions);
+        }
+
+        /**
+         * Removed entries stay in the index as deleted nodes. Before it fills
+         * up, re-insert the live entries into a fresh index on a background
+         * thread. Lookups and inserts continue against the old index meanwhile.
+         * The caller holds the write lock.
+         */
+        void rebuildInBackground() {
+            rebuilding = true;
+            Thread thread = new Thread(this::rebuild, "llm-semantic-cache-rebuild");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void rebuild() {
+            Map<Entry, Integer> ids = new IdentityHashMap<>();
+            HnswIndex rebuilt = null;
+            try {
+                rebuilt = buildFromSnapshot(ids);
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    rebuilding = false;
+                    if (rebuilt != null && partitions.get(settings) == this)
+                        swap(rebuilt, ids);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+
+        /**
+         * Copies the live vectors not yet in {@code ids} under the read lock,
+         * then indexes them with no lock held, repeating a few times while
+         * inserts keep arriving so that little is left for {@link #swap}.
+         * {@code ids} receives each entry's node id in the new index.
+         */
+        private HnswIndex buildFromSnapshot(Map<Entry, Integer> ids) {
+            HnswIndex rebuilt = null;
+            for (int pass = 0;; pass++) {
+                List<Entry> pending = new ArrayList<>();
+                List<float[]> vectors = new ArrayList<>();
+                lock.readLock().lock();
+                try {
+                    if (partitions.get(settings) != this)
+                        return null;
+                    if (rebuilt == null)
+                        rebuilt = newIndex(index.dimensions());
+                    for (Map.Entry<Integer, Entry> e : entries.entrySet()) {
+                        if (!ids.containsKey(e.getValue())) {
+                            pending.add(e.getValue());
+                            vectors.add(index.vector(e.getKey()));
+                        }
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                if (pass > MAX_CATCH_UP_PASSES || (pass > 0 && pending.size() <= SWAP_CATCH_UP))
+                    return rebuilt;
+                for (int i = 0; i < pending.size(); i++) {
+                    ids.put(pending.get(i), rebuilt.add(vectors.get(i)));
+                }
+            }
+        }
+
+        /**
+         * Replays what changed since the snapshot, then switches to the new
+         * index: entries added meanwhile are inserted and entries removed
+         * meanwhile are marked deleted. The caller holds the write lock.
+         */
+        private void swap(HnswIndex rebuilt, Map<Entry, Integer> ids) {
+            Map<Integer, Entry> remapped = new LinkedHashMap<>();
+            for (Map.Entry<Integer, Entry> e : entries.entrySet()) {
+                Integer id = ids.remove(e.getValue());
+                remapped.put(id != null ? id : rebuilt.add(index.vector(e.getKey())), e.getValue());
+            }
+            ids.values().forEach(rebuilt::remove);
+            index = rebuilt;
+            entries = remapped;
+        }
+    }
+
+    private record Slot(Partition partition, int id, Entry entry) {
+    }
+
+    private static final class Entry {
+        final LlmResponse response;
+        final long bytes;
+        final long createdNanos;
+        volatile long lastAccessNanos;
+
+        Entry(LlmResponse response, long bytes, long createdNanos) {
+            this.response = response;
+            this.bytes = bytes;
+            this.createdNanos = createdNanos;
+            this.lastAccessNanos = createdNanos;
+        }
+
+        boolean isExpired(long now, Duration ttl) {
+            return ttl != null && now - createdNanos > ttl.toNanos();
+        }
+    }
+
+    public static Builder builder(EmbeddingBackend backend) {
+        return new Builder(backend);
+    }
+
+    public static class Builder {
+        private final EmbeddingBackend backend;
+        private double similarityThreshold = 0.95;
+        private int maxEntries = 10_000;
+        private long maxTextBytes = 64L * 1024 * 1024;
+        private Duration ttl = Duration.ofHours(1);
+        private int m = 16;
+        private int efConstruction = 100;
+        private int efSearch = 64;
+
+        private Builder(EmbeddingBackend backend) {
+            this.backend = backend;
+        }
+
+        /**
+         * Minimum cosine similarity, between 0 and 1, for a cached prompt to
+         * count as a match.
+         */
+        public Builder similarityThreshold(double similarityThreshold) {
+            this.similarityThreshold = similarityThreshold;
+            return this;
+        }
+
+        /**
+         * Maximum number of cached responses. Each distinct combination of
+         * request settings gets a vector index that reserves room for up to
+         * twice this many embeddings in off-heap memory, growing in steps as
+         * entries are added: at most {@code 2 * maxEntries * dimensions * 4}
+         * bytes per index, e.g. about 61 MB for the default 10,000 entries with
+         * 768-dimension embeddings. While an index is being rebuilt its
+         * replacement briefly needs the same again. Indexes are dropped once
+         * they are empty.
+         */
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Upper bound on the cached prompt and response text, in bytes
+         * (estimated at two bytes per character).
+         */
+        public Builder maxTextBytes(long maxTextBytes) {
+            this.maxTextBytes = maxTextBytes;
+            return this;
+        }
+
+        /**
+         * How long an entry may be served after it was cached; {@code null}
+         * disables expiry.
+         */
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Index tuning: links per node, build beam width and search beam width.
+         * A lookup scores at most {@code 16 * efSearch} cached prompts.
+         */
+        public Builder hnsw(int m, int efConstruction, int efSearch) {
+            this.m = m;
+            this.efConstruction = efConstruction;
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        public SemanticCache build() {
+            if (backend == null)
+                throw new LlmException("Semantic cache requires an embedding backend.");
+            if (similarityThreshold <= 0 || similarityThreshold > 1)
+                throw new LlmException("similarityThreshold must be in (0, 1].");
+            if (maxEntries < 1 || maxTextBytes < 1)
+                throw new LlmException("Cache size limits must be positive.");
+            return new SemanticCache(this);
+        }
+    }
+}
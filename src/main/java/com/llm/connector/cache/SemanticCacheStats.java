@@ -0,0 +1,31 @@
+package com.llm.connector.cache;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of {@link SemanticCache} counters.
+ *
+ * @param hits        Lookups answered from the cache.
+ * @param misses      Lookups that went to the provider.
+ * @param errors      Lookups skipped because embedding failed.
+ * @param evictions   Entries removed for size or age.
+ * @param entries     Live entries.
+ * @param textBytes   Approximate size of cached prompts and responses.
+ * @param meanEmbed   Mean time spent embedding a prompt.
+ * @param meanSearch  Mean time spent searching the index.
+ */
+public record SemanticCacheStats(
+        long hits,
+        long misses,
+        long errors,
+        long evictions,
+        int entries,
+        long textBytes,
+        Duration meanEmbed,
+        Duration meanSearch) {
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -1,5 +1,7 @@
 package com.llm.connector.client;
 
+import com.llm.connector.cache.SemanticCache;
+import com.llm.connector.cache.SemanticCacheStats;
 import com.llm.connector.config.LlmConfig;
 import com.llm.connector.core.LlmProvider;
 import com.llm.connector.core.LlmRequest;
@@ -9,17 +11,30 @@ import com.llm.connector.provider.AnthropicProvider;
 import com.llm.connector.provider.GeminiProvider;
 import com.llm.connector.provider.OllamaProvider;
 import com.llm.connector.provider.OpenAiProvider;
+import com.llm.connector.scheduler.RequestScheduler;
+import com.llm.connector.scheduler.SchedulerStats;
+import com.llm.connector.transport.HttpTransport;
+import com.llm.connector.transport.JdkHttpTransport;
+
+import java.util.List;
 
 /**
  * Main entry point for the LLM SDK.
+ * <p>
+ * Clients built with {@code maxInFlight} own scheduler worker threads; close
+ * the client when it is no longer needed to release them.
  */
-public class LlmClient {
+public class LlmClient implements AutoCloseable {
     private final LlmProvider provider;
     private final LlmConfig config;
+    private final RequestScheduler scheduler;
+    private final SemanticCache cache;
 
-    private LlmClient(LlmProvider provider, LlmConfig config) {
+    private LlmClient(LlmProvider provider, LlmConfig config, RequestScheduler scheduler, SemanticCache cache) {
         this.provider = provider;
         this.config = config;
+        this.scheduler = scheduler;
+        this.cache = cache;
     }
 
     /**
@@ -30,7 +45,7 @@ public class LlmClient {
      */
     public String generate(String prompt) {
         LlmRequest request = LlmRequest.of(prompt);
-        LlmResponse response = provider.generate(request, config);
+        LlmResponse response = generate(request);
         return response.text();
     }
 
@@ -41,9 +56,52 @@ public class LlmClient {
      * @return The full response object.
      */
     public LlmResponse generate(LlmRequest request) {
+        if (cache != null)
+            return cache.get(request, config, provider);
         return provider.generate(request, config);
     }
 
+    /**
+     * Generates several independent completions of the prompt in a single
+     * logical call.
+     *
+     * @param prompt The input text prompt.
+     * @param count  The number of candidates to generate.
+     * @return The generated candidate texts, in provider order.
+     */
+    public List<String> generateCandidates(String prompt, int count) {
+        LlmRequest request = LlmRequest.of(prompt).withCandidateCount(count);
+        return generate(request).candidates().stream()
+                .map(LlmResponse.Candidate::text)
+                .toList();
+    }
+
+    /**
+     * Returns queue-depth and wait-time statistics, or {@code null} if the client
+     * was built without a scheduler.
+     */
+    public SchedulerStats schedulerStats() {
+        return scheduler != null ? scheduler.stats() : null;
+    }
+
+    /**
+     * Returns semantic cache statistics, or {@code null} if the client was built
+     * without a semantic cache.
+     */
+    public SemanticCacheStats cacheStats() {
+        return cache != null ? cache.stats() : null;
+    }
+
+    /**
+     * Stops the scheduler's worker threads, if any. Requests still queued fail
+     * with an {@link LlmException}; calls already sent are interrupted.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null)
+            scheduler.close();
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -63,6 +121,9 @@ public class LlmClient {
         private Double temperature;
         private Integer maxTokens;
         private java.time.Duration timeout;
+        private Integer maxInFlight;
+        private HttpTransport transport;
+        private SemanticCache semanticCache;
 
         public Builder provider(ProviderType type) {
             this.providerType = type;
@@ -100,6 +161,34 @@ public class LlmClient {
             return this;
         }
 
+        /**
+         * Routes requests through a {@link RequestScheduler} that sends at most
+         * {@code maxInFlight} requests at once, ordered by priority and deadline.
+         */
+        public Builder maxInFlight(Integer maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the transport used by the built-in providers, e.g. a
+         * {@code RecordingTransport} or {@code ReplayTransport}. Ignored for
+         * custom providers.
+         */
+        public Builder transport(HttpTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Answers prompts similar to earlier ones from the cache instead of the
+         * provider. Cache hits bypass the scheduler.
+         */
+        public Builder semanticCache(SemanticCache semanticCache) {
+            this.semanticCache = semanticCache;
+            return this;
+        }
+
         public Builder config(LlmConfig config) {
             this.config = config;
             return this;
@@ -115,11 +204,12 @@ public class LlmClient {
                 throw new LlmException("Provider type must be set.");
             }
 
+            HttpTransport selectedTransport = transport != null ? transport : new JdkHttpTransport();
             switch (providerType) {
-                case GEMINI -> selectedProvider = new GeminiProvider();
-                case OPENAI -> selectedProvider = new OpenAiProvider();
-                case ANTHROPIC -> selectedProvider = new AnthropicProvider();
-                case OLLAMA -> selectedProvider = new OllamaProvider();
+                case GEMINI -> selectedProvider = new GeminiProvider(selectedTransport);
+                case OPENAI -> selectedProvider = new OpenAiProvider(selectedTransport);
+                case ANTHROPIC -> selectedProvider = new AnthropicProvider(selectedTransport);
+                case OLLAMA -> selectedProvider = new OllamaProvider(selectedTransport);
                 case CUSTOM -> {
                     if (customProvider == null)
                         throw new LlmException("Custom provider implementation must be provided for CUSTOM type.");
@@ -128,7 +218,13 @@ public class LlmClient {
                 default -> throw new LlmException("Unknown provider type");
             }
 
-            return new LlmClient(selectedProvider, config);
+            RequestScheduler scheduler = null;
+            if (maxInFlight != null) {
+                scheduler = new RequestScheduler(selectedProvider, maxInFlight);
+                selectedProvider = scheduler;
+            }
+
+            return new LlmClient(selectedProvider, config, scheduler, semanticCache);
         }
     }
 }
@@ -19,6 +19,10 @@ public record LlmConfig(
             temperature = 0.7;
     }
 
-    // Builder-like static factory for convenience if needed,
-    // or just rely on canonical constructor.
+    /**
+     * Returns a copy of this config with a different HTTP timeout.
+     */
+    public LlmConfig withTimeout(Duration timeout) {
+        return new LlmConfig(apiKey, model, timeout, temperature, maxTokens);
+    }
 }
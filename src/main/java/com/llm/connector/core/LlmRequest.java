@@ -1,14 +1,61 @@
 package com.llm.connector.core;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * Represents a generic request to an LLM provider.
  * This can override config defaults if fields are present.
+ *
+ * <p>
+ * {@code priority} and {@code deadline} are only used when the client is
+ * built with a scheduler; a {@code null} deadline means the request never
+ * expires on its own. {@code candidateCount} asks for several independent
+ * completions of the same prompt in one call.
  */
 public record LlmRequest(
         String prompt,
         Double temperature,
-        Integer maxTokens) {
+        Integer maxTokens,
+        RequestPriority priority,
+        Instant deadline,
+        Integer candidateCount) {
+    public LlmRequest {
+        if (priority == null)
+            priority = RequestPriority.NORMAL;
+    }
+
+    public LlmRequest(String prompt, Double temperature, Integer maxTokens) {
+        this(prompt, temperature, maxTokens, null, null, null);
+    }
+
     public static LlmRequest of(String prompt) {
         return new LlmRequest(prompt, null, null);
     }
+
+    public LlmRequest withPriority(RequestPriority priority) {
+        return new LlmRequest(prompt, temperature, maxTokens, priority, deadline, candidateCount);
+    }
+
+    public LlmRequest withDeadline(Instant deadline) {
+        return new LlmRequest(prompt, temperature, maxTokens, priority, deadline, candidateCount);
+    }
+
+    /**
+     * Sets the deadline to {@code timeout} from now.
+     */
+    public LlmRequest withTimeout(Duration timeout) {
+        return withDeadline(Instant.now().plus(timeout));
+    }
+
+    public LlmRequest withCandidateCount(Integer candidateCount) {
+        return new LlmRequest(prompt, temperature, maxTokens, priority, deadline, candidateCount);
+    }
+
+    /**
+     * Number of candidates requested; at least 1.
+     */
+    public int effectiveCandidateCount() {
+        return candidateCount != null && candidateCount > 1 ? candidateCount : 1;
+    }
 }
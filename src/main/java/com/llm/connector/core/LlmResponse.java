@@ -1,11 +1,50 @@
 package com.llm.connector.core;
 
+import java.util.List;
 import java.util.Map;
 
 /**
  * Represents a generic response from an LLM provider.
+ *
+ * <p>
+ * {@code finishReason} is the provider's own stop reason (e.g. {@code "stop"},
+ * {@code "length"}, {@code "MAX_TOKENS"}, {@code "end_turn"}), or {@code null}
+ * if the provider did not report one. {@code text} and {@code finishReason}
+ * always describe the first entry of {@code candidates}.
  */
 public record LlmResponse(
                 String text,
-                Map<String, Object> metadata) {
+                Map<String, Object> metadata,
+                String finishReason,
+                List<Candidate> candidates) {
+
+        public LlmResponse {
+                if (candidates == null || candidates.isEmpty())
+                        candidates = List.of(new Candidate(text, finishReason));
+        }
+
+        public LlmResponse(String text, Map<String, Object> metadata) {
+                this(text, metadata, null, null);
+        }
+
+        public LlmResponse(String text, Map<String, Object> metadata, String finishReason) {
+                this(text, metadata, finishReason, null);
+        }
+
+        /**
+         * Builds a response from one or more candidates, exposing the first as
+         * {@code text}.
+         */
+        public static LlmResponse of(List<Candidate> candidates, Map<String, Object> metadata) {
+                if (candidates.isEmpty())
+                        return new LlmResponse("", metadata);
+                Candidate first = candidates.get(0);
+                return new LlmResponse(first.text(), metadata, first.finishReason(), List.copyOf(candidates));
+        }
+
+        /**
+         * A single completion and the reason the provider stopped generating it.
+         */
+        public record Candidate(String text, String finishReason) {
+        }
 }
@@ -0,0 +1,9 @@
+package com.llm.connector.core;
+
+/**
+ * Scheduling class of a request. Lower ordinals are dispatched first when
+ * requests are queued behind a {@code RequestScheduler}.
+ */
+public enum RequestPriority {
+    INTERACTIVE, NORMAL, BATCH
+}
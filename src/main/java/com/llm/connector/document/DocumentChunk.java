@@ -0,0 +1,12 @@
+package com.llm.connector.document;
+
+/**
+ * A slice of a document.
+ *
+ * @param index     Position of the chunk in the document, starting at 0.
+ * @param startChar Offset of the first character of the chunk in the document.
+ * @param text      The chunk text, including any overlap with the previous
+ *                  chunk.
+ */
+public record DocumentChunk(int index, long startChar, String text) {
+}
@@ -0,0 +1,168 @@
+package com.llm.connector.document;
+
+import com.llm.connector.exception.LlmException;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Splits text into overlapping chunks that fit a model's context window.
+ *
+ * <p>
+ * Sizes are given in tokens and converted with a rough estimate of
+ * {@value #CHARS_PER_TOKEN} characters per token. A chunk ends at the last
+ * sentence boundary within its budget, falling back to the last whitespace
+ * (a token boundary) and only then to a hard cut. The next chunk starts
+ * {@code overlapTokens} before that point, aligned to a word.
+ *
+ * <p>
+ * Files are read through memory-mapped buffers and chunked as they are
+ * decoded, so the whole document is never held in memory.
+ */
+public class DocumentChunker {
+
+    static final int CHARS_PER_TOKEN = 4;
+
+    private static final int DECODE_BUFFER_CHARS = 64 * 1024;
+    private static final long MAX_MAPPING_BYTES = Integer.MAX_VALUE;
+
+    private final int maxChars;
+    private final int overlapChars;
+
+    public DocumentChunker(int maxChunkTokens, int overlapTokens) {
+        if (maxChunkTokens < 1)
+            throw new LlmException("maxChunkTokens must be at least 1.");
+        if (overlapTokens < 0 || overlapTokens * 2 > maxChunkTokens)
+            throw new LlmException("overlapTokens must be between 0 and half of maxChunkTokens.");
+        this.maxChars = maxChunkTokens * CHARS_PER_TOKEN;
+        this.overlapChars = overlapTokens * CHARS_PER_TOKEN;
+    }
+
+    public List<DocumentChunk> chunk(CharSequence text) {
+        List<DocumentChunk> chunks = new ArrayList<>();
+        Splitter splitter = new Splitter(chunks::add);
+        splitter.feed(text);
+        splitter.finish();
+        return chunks;
+    }
+
+    /**
+     * Chunks a file, handing each chunk to {@code sink} as soon as it is
+     * complete.
+     */
+    public void chunk(Path file, Charset charset, Consumer<DocumentChunk> sink) throws IOException {
+        Splitter splitter = new Splitter(sink);
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(DECODE_BUFFER_CHARS);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(size - position, MAX_MAPPING_BYTES);
+                boolean endOfInput = position + length == size;
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                CoderResult result;
+                do {
+                    result = decoder.decode(bytes, chars, endOfInput);
+                    drain(chars, splitter);
+                } while (result.isOverflow());
+                // A character split across mappings is decoded from the start of the next one.
+                position += endOfInput ? length : bytes.position();
+            }
+            CoderResult result;
+            do {
+                result = decoder.flush(chars);
+                drain(chars, splitter);
+            } while (result.isOverflow());
+        }
+        splitter.finish();
+    }
+
+    private static void drain(CharBuffer chars, Splitter splitter) {
+        chars.flip();
+        splitter.feed(chars);
+        chars.clear();
+    }
+
+    /**
+     * Returns the end (exclusive) of the next chunk in {@code text}, which is
+     * longer than {@code maxChars}.
+     */
+    private int boundary(CharSequence text) {
+        int floor = maxChars / 2;
+        for (int i = maxChars; i > floor; i--) {
+            char c = text.charAt(i - 1);
+            if (c == '\n')
+                return i;
+            if ((c == '.' || c == '!' || c == '?') && Character.isWhitespace(text.charAt(i)))
+                return i;
+        }
+        for (int i = maxChars; i > floor; i--) {
+            if (Character.isWhitespace(text.charAt(i - 1)))
+                return i;
+        }
+        return Character.isHighSurrogate(text.charAt(maxChars - 1)) ? maxChars - 1 : maxChars;
+    }
+
+    /**
+     * Returns where the chunk after one ending at {@code end} should start.
+     */
+    private int overlapStart(CharSequence text, int end) {
+        if (overlapChars == 0)
+            return end;
+        int start = end - overlapChars;
+        while (start < end && !Character.isWhitespace(text.charAt(start - 1))) {
+            start++;
+        }
+        return start;
+    }
+
+    private final class Splitter {
+        private final Consumer<DocumentChunk> sink;
+        private final StringBuilder pending = new StringBuilder();
+        private long pendingStart;
+        private int emittedLength; // prefix of pending already sent as overlap
+        private int index;
+
+        Splitter(Consumer<DocumentChunk> sink) {
+            this.sink = sink;
+        }
+
+        void feed(CharSequence text) {
+            pending.append(text);
+            while (pending.length() > maxChars) {
+                emit();
+            }
+        }
+
+        void finish() {
+            if (pending.length() > emittedLength && !pending.toString().isBlank()) {
+                sink.accept(new DocumentChunk(index++, pendingStart, pending.toString()));
+            }
+            pending.setLength(0);
+        }
+
+        private void emit() {
+            int end = boundary(pending);
+            sink.accept(new DocumentChunk(index++, pendingStart, pending.substring(0, end)));
+            int next = overlapStart(pending, end);
+            pending.delete(0, next);
+            pendingStart += next;
+            emittedLength = end - next;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.llm.connector.document;
+
+import com.llm.connector.client.LlmClient;
+import com.llm.connector.core.LlmRequest;
+import com.llm.connector.core.RequestPriority;
+import com.llm.connector.exception.LlmException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Processes documents larger than a model's context window by running a map
+ * prompt over each chunk in parallel and combining the results in a tree of
+ * reduce rounds.
+ *
+ * <p>
+ * At most {@code maxConcurrency} calls run at once. Work waiting for a free
+ * worker is taken deepest reduce level first, so a reduce call whose inputs
+ * are ready runs as soon as a worker frees up instead of queueing behind the
+ * remaining map calls. Wall-clock time is therefore roughly the map phase
+ * plus one call per tree level, rather than one call per chunk. Prompts are
+ * templates in which {@value #TEXT_PLACEHOLDER} is replaced with the chunk
+ * text or the joined partial results.
+ *
+ * <p>
+ * If any call fails, the returned future fails immediately with that error;
+ * queued work is dropped and calls still in flight are interrupted.
+ */
+public class MapReduceProcessor {
+
+    public static final String TEXT_PLACEHOLDER = "{text}";
+
+    private static final String PARTIAL_SEPARATOR = "\n\n---\n\n";
+
+    private final LlmClient client;
+    private final DocumentChunker chunker;
+    private final String mapPrompt;
+    private final String combinePrompt;
+    private final int maxConcurrency;
+    private final int reduceFanIn;
+    private final RequestPriority priority;
+    private final Consumer<PartialResult> listener;
+
+    private MapReduceProcessor(Builder builder) {
+        this.client = builder.client;
+        this.chunker = builder.chunker;
+        this.mapPrompt = builder.mapPrompt;
+        this.combinePrompt = builder.combinePrompt;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.reduceFanIn = builder.reduceFanIn;
+        this.priority = builder.priority;
+        this.listener = builder.listener;
+    }
+
+    public String process(CharSequence text) {
+        return await(processAsync(text));
+    }
+
+    public String process(Path file) {
+        return await(processAsync(file, StandardCharsets.UTF_8));
+    }
+
+    public CompletableFuture<String> processAsync(CharSequence text) {
+        return run(sink -> chunker.chunk(text).forEach(sink));
+    }
+
+    /**
+     * Reads and chunks the file on the calling thread; map calls start while the
+     * rest of the file is still being read.
+     */
+    public CompletableFuture<String> processAsync(Path file, Charset charset) {
+        return run(sink -> {
+            try {
+                chunker.chunk(file, charset, sink);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private CompletableFuture<String> run(Consumer<Consumer<DocumentChunk>> chunks) {
+        Job job = new Job();
+        try {
+            List<CompletableFuture<String>> level = new ArrayList<>();
+            Executor mapExecutor = job.atLevel(0);
+            chunks.accept(chunk -> level.add(job.track(CompletableFuture.supplyAsync(
+                    () -> call(mapPrompt, chunk.text(), 0, chunk.index()), mapExecutor))));
+            if (level.isEmpty())
+                job.succeed("");
+            else
+                reduce(level, 1, job).thenAccept(job::succeed);
+        } catch (RuntimeException e) {
+            job.fail(e instanceof UncheckedIOException io
+                    ? new LlmException("Failed to read document", io.getCause())
+                    : e);
+        }
+        return job.outcome;
+    }
+
+    private CompletableFuture<String> reduce(List<CompletableFuture<String>> level, int depth, Job job) {
+        if (level.size() == 1)
+            return level.get(0);
+
+        List<CompletableFuture<String>> next = new ArrayList<>();
+        for (int from = 0; from < level.size(); from += reduceFanIn) {
+            List<CompletableFuture<String>> group = level.subList(from, Math.min(from + reduceFanIn, level.size()));
+            int index = next.size();
+            next.add(job.track(CompletableFuture.allOf(group.toArray(new CompletableFuture<?>[0]))
+                    .thenApplyAsync(ignored -> {
+                        String joined = group.stream()
+                                .map(CompletableFuture::join)
+                                .collect(Collectors.joining(PARTIAL_SEPARATOR));
+                        return call(combinePrompt, joined, depth, index);
+                    }, job.atLevel(depth))));
+        }
+        return reduce(next, depth + 1, job);
+    }
+
+    private String call(String template, String text, int level, int index) {
+        LlmRequest request = LlmRequest.of(template.replace(TEXT_PLACEHOLDER, text)).withPriority(priority);
+        String generated = client.generate(request).text();
+        String output = generated != null ? generated : "";
+        if (listener != null)
+            listener.accept(new PartialResult(level, index, output));
+        return output;
+    }
+
+    /**
+     * Queued pool work tagged with its tree level; deeper levels run first,
+     * then submission order.
+     */
+    private record LevelTask(int level, long sequence, Runnable task) implements Runnable {
+        static final Comparator<Runnable> DEEPEST_FIRST = Comparator
+                .comparingInt((Runnable r) -> -((LevelTask) r).level())
+                .thenComparingLong(r -> ((LevelTask) r).sequence());
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Worker pool and result of one document run. The result is completed only
+     * after the pool has been shut down: on success by the thread that ran the
+     * final call, on failure from a thread outside the pool so that stages the
+     * caller chained onto the result are not interrupted by
+     * {@link ThreadPoolExecutor#shutdownNow()}.
+     */
+    private final class Job {
+        final CompletableFuture<String> outcome = new CompletableFuture<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final AtomicLong sequence = new AtomicLong();
+        private final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(64, LevelTask.DEEPEST_FIRST), r -> {
+                    Thread thread = new Thread(r, "llm-map-reduce");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Executor atLevel(int level) {
+            return task -> executor.execute(new LevelTask(level, sequence.getAndIncrement(), task));
+        }
+
+        /**
+         * Fails the run as soon as {@code stage} fails, without waiting for
+         * sibling calls.
+         */
+        CompletableFuture<String> track(CompletableFuture<String> stage) {
+            stage.whenComplete((text, failure) -> {
+                if (failure != null)
+                    CompletableFuture.runAsync(() -> fail(failure));
+            });
+            return stage;
+        }
+
+        void succeed(String text) {
+            if (!finished.compareAndSet(false, true))
+                return;
+            executor.shutdown();
+            outcome.complete(text);
+        }
+
+        void fail(Throwable failure) {
+            if (!finished.compareAndSet(false, true))
+                return;
+            executor.shutdownNow();
+            outcome.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure);
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof LlmException llmException)
+                throw llmException;
+            throw new LlmException("Document processing failed", e.getCause());
+        }
+    }
+
+    public static Builder builder(LlmClient client) {
+        return new Builder(client);
+    }
+
+    public static class Builder {
+        private final LlmClient client;
+        private DocumentChunker chunker = new DocumentChunker(3000, 200);
+        private String mapPrompt = "Summarize the following part of a larger document. "
+                + "Keep every important fact.\n\n" + TEXT_PLACEHOLDER;
+        private String combinePrompt = "Combine the following partial summaries of one document "
+                + "into a single summary.\n\n" + TEXT_PLACEHOLDER;
+        private int maxConcurrency = 4;
+        private int reduceFanIn = 8;
+        private RequestPriority priority = RequestPriority.BATCH;
+        private Consumer<PartialResult> listener;
+
+        private Builder(LlmClient client) {
+            this.client = client;
+        }
+
+        public Builder chunker(DocumentChunker chunker) {
+            this.chunker = chunker;
+            return this;
+        }
+
+        public Builder mapPrompt(String mapPrompt) {
+            this.mapPrompt = mapPrompt;
+            return this;
+        }
+
+        public Builder combinePrompt(String combinePrompt) {
+            this.combinePrompt = combinePrompt;
+            return this;
+        }
+
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Number of partial results combined by one reduce call.
+         */
+        public Builder reduceFanIn(int reduceFanIn) {
+            this.reduceFanIn = reduceFanIn;
+            return this;
+        }
+
+        public Builder priority(RequestPriority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Receives every map and reduce result as it finishes, on a worker
+         * thread.
+         */
+        public Builder onPartialResult(Consumer<PartialResult> listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public MapReduceProcessor build() {
+            if (client == null)
+                throw new LlmException("Document processing requires an LlmClient.");
+            if (maxConcurrency < 1)
+                throw new LlmException("maxConcurrency must be at least 1.");
+            if (reduceFanIn < 2)
+                throw new LlmException("reduceFanIn must be at least 2.");
+            if (!mapPrompt.contains(TEXT_PLACEHOLDER) || !combinePrompt.contains(TEXT_PLACEHOLDER))
+                throw new LlmException("Prompts must contain the " + TEXT_PLACEHOLDER + " placeholder.");
+            return new MapReduceProcessor(this);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.llm.connector.document;
+
+/**
+ * Output of one map or reduce call, reported as soon as it finishes.
+ *
+ * @param level 0 for chunk (map) results, 1 and up for each reduce round.
+ * @param index Position of the result within its level.
+ * @param text  The generated text.
+ */
+public record PartialResult(int level, int index, String text) {
+}
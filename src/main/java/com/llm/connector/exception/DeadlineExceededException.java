@@ -0,0 +1,15 @@
+package com.llm.connector.exception;
+
+/**
+ * Exception thrown when a request's deadline passes before it could be sent
+ * or before its response arrived.
+ */
+public class DeadlineExceededException extends LlmException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -5,14 +5,16 @@ import com.llm.connector.core.LlmProvider;
 import com.llm.connector.core.LlmRequest;
 import com.llm.connector.core.LlmResponse;
 import com.llm.connector.exception.ProviderException;
+import com.llm.connector.transport.HttpTransport;
+import com.llm.connector.transport.JdkHttpTransport;
+import com.llm.connector.transport.TransportRequest;
+import com.llm.connector.transport.TransportResponse;
 import com.llm.connector.util.JsonUtil;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,14 +23,26 @@ import java.util.Map;
  */
 public class AnthropicProvider implements LlmProvider {
 
-    private final HttpClient httpClient;
+    private final HttpTransport transport;
 
     public AnthropicProvider() {
-        this.httpClient = HttpClient.newHttpClient();
+        this(new JdkHttpTransport());
     }
 
+    public AnthropicProvider(HttpTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * The Anthropic API returns one completion per call, so multiple candidates are
+     * requested as concurrent calls.
+     */
     @Override
     public LlmResponse generate(LlmRequest request, LlmConfig config) {
+        return CandidateFanOut.generate(request, config, this::generateOne);
+    }
+
+    private LlmResponse generateOne(LlmRequest request, LlmConfig config) {
         String apiKey = config.apiKey();
         String model = config.model() != null ? config.model() : "claude-3-sonnet-20240229"; // Default to a recent
                                                                                              // model
@@ -53,26 +67,26 @@ public class AnthropicProvider implements LlmProvider {
 
         String jsonBody = JsonUtil.toJson(payloadMap);
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .header("x-api-key", apiKey)
-                .header("anthropic-version", "2023-06-01")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .timeout(config.timeout())
-                .build();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("x-api-key", apiKey);
+        headers.put("anthropic-version", "2023-06-01");
+
+        TransportRequest httpRequest = TransportRequest.post(URI.create(url), headers, jsonBody, config.timeout());
 
         try {
-            HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            TransportResponse response = transport.send(httpRequest);
 
             if (response.statusCode() >= 400) {
-                throw new ProviderException("Anthropic API error: " + response.statusCode() + " - " + response.body());
+                throw new ProviderException("Anthropic API error: " + response.statusCode() + " - " + response.bodyAsString());
             }
 
-            return parseResponse(response.body());
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return parseResponse(response.bodyAsString());
+        } catch (IOException e) {
             throw new ProviderException("Failed to call Anthropic API", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while calling Anthropic API", e);
         }
     }
 
@@ -91,7 +105,7 @@ public class AnthropicProvider implements LlmProvider {
             Map<?, ?> firstBlock = (Map<?, ?>) content.get(0);
             String text = (String) firstBlock.get("text");
 
-            return new LlmResponse(text, root);
+            return new LlmResponse(text, root, (String) root.get("stop_reason"));
         } catch (Exception e) {
             throw new ProviderException("Failed to parse Anthropic response", e);
         }
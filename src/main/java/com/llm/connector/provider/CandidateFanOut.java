@@ -0,0 +1,91 @@
+package com.llm.connector.provider;
+
+import com.llm.connector.config.LlmConfig;
+import com.llm.connector.core.LlmRequest;
+import com.llm.connector.core.LlmResponse;
+import com.llm.connector.exception.LlmException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Multi-candidate support for APIs that return a single completion per call:
+ * the request is sent {@code candidateCount} times and the results are merged
+ * into one {@link LlmResponse}.
+ * <p>
+ * At most {@link #MAX_PARALLEL_CALLS} calls per request are in flight at once.
+ * These calls run beneath any {@code RequestScheduler} wrapping the provider,
+ * so one scheduler slot may account for up to that many HTTP calls.
+ */
+final class CandidateFanOut {
+
+    /** Metadata key holding the raw metadata of every fanned-out call, in order. */
+    static final String RESPONSES_METADATA_KEY = "responses";
+
+    /** Upper bound on concurrent calls made for a single request. */
+    static final int MAX_PARALLEL_CALLS = 4;
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "llm-candidate-fanout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CandidateFanOut() {
+    }
+
+    static LlmResponse generate(LlmRequest request, LlmConfig config,
+            BiFunction<LlmRequest, LlmConfig, LlmResponse> single) {
+        int count = request.effectiveCandidateCount();
+        if (count == 1)
+            return single.apply(request, config);
+
+        LlmRequest singleRequest = request.withCandidateCount(null);
+        CompletionService<LlmResponse> completion = new ExecutorCompletionService<>(EXECUTOR);
+        Map<Future<LlmResponse>, Integer> pending = new HashMap<>();
+        LlmResponse[] results = new LlmResponse[count];
+        int submitted = 0;
+        try {
+            while (submitted < Math.min(count, MAX_PARALLEL_CALLS)) {
+                pending.put(completion.submit(() -> single.apply(singleRequest, config)), submitted++);
+            }
+            while (!pending.isEmpty()) {
+                Future<LlmResponse> done = completion.take();
+                results[pending.remove(done)] = done.get();
+                if (submitted < count)
+                    pending.put(completion.submit(() -> single.apply(singleRequest, config)), submitted++);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new LlmException("Candidate request failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Interrupted while waiting for candidate requests", e);
+        } finally {
+            pending.keySet().forEach(future -> future.cancel(true));
+        }
+
+        List<LlmResponse.Candidate> candidates = new ArrayList<>(count);
+        List<Map<String, Object>> responses = new ArrayList<>(count);
+        for (LlmResponse response : results) {
+            candidates.add(new LlmResponse.Candidate(response.text(), response.finishReason()));
+            responses.add(response.metadata());
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        if (responses.get(0) != null)
+            metadata.putAll(responses.get(0));
+        metadata.put(RESPONSES_METADATA_KEY, responses);
+        return LlmResponse.of(candidates, metadata);
+    }
+}
@@ -5,14 +5,17 @@ import com.llm.connector.core.LlmProvider;
 import com.llm.connector.core.LlmRequest;
 import com.llm.connector.core.LlmResponse;
 import com.llm.connector.exception.ProviderException;
+import com.llm.connector.transport.HttpTransport;
+import com.llm.connector.transport.JdkHttpTransport;
+import com.llm.connector.transport.TransportRequest;
+import com.llm.connector.transport.TransportResponse;
 import com.llm.connector.util.JsonUtil;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,10 +24,14 @@ import java.util.Map;
  */
 public class GeminiProvider implements LlmProvider {
 
-    private final HttpClient httpClient;
+    private final HttpTransport transport;
 
     public GeminiProvider() {
-        this.httpClient = HttpClient.newHttpClient();
+        this(new JdkHttpTransport());
+    }
+
+    public GeminiProvider(HttpTransport transport) {
+        this.transport = transport;
     }
 
     @Override
@@ -56,6 +63,12 @@ public class GeminiProvider implements LlmProvider {
                 genConfig.put("maxOutputTokens", config.maxTokens());
         }
 
+        if (request.effectiveCandidateCount() > 1) {
+            if (genConfig == null)
+                genConfig = new java.util.HashMap<>();
+            genConfig.put("candidateCount", request.effectiveCandidateCount());
+        }
+
         Map<String, Object> payloadMap = new java.util.HashMap<>();
         payloadMap.put("contents", List.of(contents));
         if (genConfig != null) {
@@ -64,24 +77,24 @@ public class GeminiProvider implements LlmProvider {
 
         String jsonBody = JsonUtil.toJson(payloadMap);
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .timeout(config.timeout())
-                .build();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+
+        TransportRequest httpRequest = TransportRequest.post(URI.create(url), headers, jsonBody, config.timeout());
 
         try {
-            HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            TransportResponse response = transport.send(httpRequest);
 
             if (response.statusCode() >= 400) {
-                throw new ProviderException("Gemini API error: " + response.statusCode() + " - " + response.body());
+                throw new ProviderException("Gemini API error: " + response.statusCode() + " - " + response.bodyAsString());
             }
 
-            return parseResponse(response.body());
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return parseResponse(response.bodyAsString());
+        } catch (IOException e) {
             throw new ProviderException("Failed to call Gemini API", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while calling Gemini API", e);
         }
     }
 
@@ -90,19 +103,26 @@ public class GeminiProvider implements LlmProvider {
         try {
             Map<String, Object> root = JsonUtil.fromJson(responseBody, Map.class);
 
-            // Navigate: candidates[0].content.parts[0].text
+            // Navigate: candidates[i].content.parts[0].text
             List<?> candidates = (List<?>) root.get("candidates");
             if (candidates == null || candidates.isEmpty()) {
                 return new LlmResponse("", root);
             }
 
-            Map<?, ?> firstCandidate = (Map<?, ?>) candidates.get(0);
-            Map<?, ?> content = (Map<?, ?>) firstCandidate.get("content");
-            List<?> parts = (List<?>) content.get("parts");
-            Map<?, ?> firstPart = (Map<?, ?>) parts.get(0);
-            String text = (String) firstPart.get("text");
+            List<LlmResponse.Candidate> result = new ArrayList<>(candidates.size());
+            for (Object c : candidates) {
+                Map<?, ?> candidate = (Map<?, ?>) c;
+                // Blocked candidates come back without content
+                String text = "";
+                Map<?, ?> content = (Map<?, ?>) candidate.get("content");
+                if (content != null && content.get("parts") instanceof List<?> parts && !parts.isEmpty()) {
+                    Map<?, ?> firstPart = (Map<?, ?>) parts.get(0);
+                    text = (String) firstPart.get("text");
+                }
+                result.add(new LlmResponse.Candidate(text, (String) candidate.get("finishReason")));
+            }
 
-            return new LlmResponse(text, root);
+            return LlmResponse.of(result, root);
         } catch (Exception e) {
             throw new ProviderException("Failed to parse Gemini response", e);
         }
@@ -5,14 +5,16 @@ import com.llm.connector.core.LlmProvider;
 import com.llm.connector.core.LlmRequest;
 import com.llm.connector.core.LlmResponse;
 import com.llm.connector.exception.ProviderException;
+import com.llm.connector.transport.HttpTransport;
+import com.llm.connector.transport.JdkHttpTransport;
+import com.llm.connector.transport.TransportRequest;
+import com.llm.connector.transport.TransportResponse;
 import com.llm.connector.util.JsonUtil;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -20,14 +22,26 @@ import java.util.Map;
  */
 public class OllamaProvider implements LlmProvider {
 
-    private final HttpClient httpClient;
+    private final HttpTransport transport;
 
     public OllamaProvider() {
-        this.httpClient = HttpClient.newHttpClient();
+        this(new JdkHttpTransport());
     }
 
+    public OllamaProvider(HttpTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * The Ollama API returns one completion per call, so multiple candidates are
+     * requested as concurrent calls.
+     */
     @Override
     public LlmResponse generate(LlmRequest request, LlmConfig config) {
+        return CandidateFanOut.generate(request, config, this::generateOne);
+    }
+
+    private LlmResponse generateOne(LlmRequest request, LlmConfig config) {
         // Ollama usually runs on localhost:11434
         // We will allow the apiKey field to potentially hold the base URL if needed,
         // or just assume standard if not provided in encoded form.
@@ -70,24 +84,24 @@ public class OllamaProvider implements LlmProvider {
 
         String jsonBody = JsonUtil.toJson(payloadMap);
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .timeout(config.timeout())
-                .build();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+
+        TransportRequest httpRequest = TransportRequest.post(URI.create(url), headers, jsonBody, config.timeout());
 
         try {
-            HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            TransportResponse response = transport.send(httpRequest);
 
             if (response.statusCode() >= 400) {
-                throw new ProviderException("Ollama API error: " + response.statusCode() + " - " + response.body());
+                throw new ProviderException("Ollama API error: " + response.statusCode() + " - " + response.bodyAsString());
             }
 
-            return parseResponse(response.body());
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return parseResponse(response.bodyAsString());
+        } catch (IOException e) {
             throw new ProviderException("Failed to call Ollama API", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while calling Ollama API", e);
         }
     }
 
@@ -96,7 +110,7 @@ public class OllamaProvider implements LlmProvider {
         try {
             Map<String, Object> root = JsonUtil.fromJson(responseBody, Map.class);
             String response = (String) root.get("response");
-            return new LlmResponse(response, root);
+            return new LlmResponse(response, root, (String) root.get("done_reason"));
         } catch (Exception e) {
             throw new ProviderException("Failed to parse Ollama response", e);
         }
@@ -5,14 +5,17 @@ import com.llm.connector.core.LlmProvider;
 import com.llm.connector.core.LlmRequest;
 import com.llm.connector.core.LlmResponse;
 import com.llm.connector.exception.ProviderException;
+import com.llm.connector.transport.HttpTransport;
+import com.llm.connector.transport.JdkHttpTransport;
+import com.llm.connector.transport.TransportRequest;
+import com.llm.connector.transport.TransportResponse;
 import com.llm.connector.util.JsonUtil;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,10 +24,14 @@ import java.util.Map;
  */
 public class OpenAiProvider implements LlmProvider {
 
-    private final HttpClient httpClient;
+    private final HttpTransport transport;
 
     public OpenAiProvider() {
-        this.httpClient = HttpClient.newHttpClient();
+        this(new JdkHttpTransport());
+    }
+
+    public OpenAiProvider(HttpTransport transport) {
+        this.transport = transport;
     }
 
     @Override
@@ -52,27 +59,30 @@ public class OpenAiProvider implements LlmProvider {
         else if (config.maxTokens() != null)
             payloadMap.put("max_tokens", config.maxTokens());
 
+        if (request.effectiveCandidateCount() > 1)
+            payloadMap.put("n", request.effectiveCandidateCount());
+
         String jsonBody = JsonUtil.toJson(payloadMap);
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(defaultUrl))
-                .header("Content-Type", "application/json")
-                .header("Authorization", "Bearer " + apiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .timeout(config.timeout())
-                .build();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("Authorization", "Bearer " + apiKey);
+
+        TransportRequest httpRequest = TransportRequest.post(URI.create(defaultUrl), headers, jsonBody, config.timeout());
 
         try {
-            HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            TransportResponse response = transport.send(httpRequest);
 
             if (response.statusCode() >= 400) {
-                throw new ProviderException("OpenAI API error: " + response.statusCode() + " - " + response.body());
+                throw new ProviderException("OpenAI API error: " + response.statusCode() + " - " + response.bodyAsString());
             }
 
-            return parseResponse(response.body());
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return parseResponse(response.bodyAsString());
+        } catch (IOException e) {
             throw new ProviderException("Failed to call OpenAI API", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while calling OpenAI API", e);
         }
     }
 
@@ -85,11 +95,16 @@ public class OpenAiProvider implements LlmProvider {
                 return new LlmResponse("", root);
             }
 
-            Map<?, ?> firstChoice = (Map<?, ?>) choices.get(0);
-            Map<?, ?> message = (Map<?, ?>) firstChoice.get("message");
-            String content = (String) message.get("content");
+            // One entry per requested candidate ("n")
+            List<LlmResponse.Candidate> candidates = new ArrayList<>(choices.size());
+            for (Object c : choices) {
+                Map<?, ?> choice = (Map<?, ?>) c;
+                Map<?, ?> message = (Map<?, ?>) choice.get("message");
+                String content = (String) message.get("content");
+                candidates.add(new LlmResponse.Candidate(content, (String) choice.get("finish_reason")));
+            }
 
-            return new LlmResponse(content, root);
+            return LlmResponse.of(candidates, root);
         } catch (Exception e) {
             throw new ProviderException("Failed to parse OpenAI response", e);
         }
@@ -0,0 +1,76 @@
+package com.llm.connector.routing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.llm.connector.core.LlmRequest;
+import com.llm.connector.core.LlmResponse;
+import com.llm.connector.util.JsonUtil;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides whether a response from a cheaper cascade tier is good enough to
+ * return, or whether the request should be escalated to the next tier.
+ *
+ * <p>
+ * Rules needing provider-specific detail (e.g. logprobs) can inspect
+ * {@link LlmResponse#metadata()}, which holds the raw provider response.
+ */
+@FunctionalInterface
+public interface AcceptancePolicy {
+
+    /** Finish reasons the built-in providers report when output was cut off. */
+    Set<String> TRUNCATED_REASONS = Set.of("length", "max_tokens");
+
+    boolean accept(LlmRequest request, LlmResponse response);
+
+    default AcceptancePolicy and(AcceptancePolicy other) {
+        return (request, response) -> accept(request, response) && other.accept(request, response);
+    }
+
+    static AcceptancePolicy always() {
+        return (request, response) -> true;
+    }
+
+    /**
+     * Accepts responses whose trimmed text is at least {@code minChars} long.
+     */
+    static AcceptancePolicy minLength(int minChars) {
+        return (request, response) -> response.text() != null && response.text().trim().length() >= minChars;
+    }
+
+    /**
+     * Rejects responses that stopped because they hit the token limit
+     * ({@code length}, {@code MAX_TOKENS}, {@code max_tokens}).
+     */
+    static AcceptancePolicy notTruncated() {
+        return (request, response) -> response.finishReason() == null
+                || !TRUNCATED_REASONS.contains(response.finishReason().toLowerCase());
+    }
+
+    /**
+     * Accepts only the given finish reasons, compared case-insensitively.
+     */
+    static AcceptancePolicy finishReasonIn(String... reasons) {
+        Set<String> allowed = Arrays.stream(reasons).map(String::toLowerCase).collect(Collectors.toSet());
+        return (request, response) -> response.finishReason() != null
+                && allowed.contains(response.finishReason().toLowerCase());
+    }
+
+    /**
+     * Accepts responses whose text parses as JSON.
+     */
+    static AcceptancePolicy validJson() {
+        return (request, response) -> {
+            if (response.text() == null || response.text().isBlank())
+                return false;
+            try {
+                JsonUtil.getMapper().readTree(response.text());
+                return true;
+            } catch (JsonProcessingException e) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,240 @@
+package com.llm.connector.routing;
+
+import com.llm.connector.config.LlmConfig;
+import com.llm.connector.core.LlmProvider;
+import com.llm.connector.core.LlmRequest;
+import com.llm.connector.core.LlmResponse;
+import com.llm.connector.exception.LlmException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provider that tries a list of tiers in order, typically cheapest first, and
+ * escalates to the next tier only when the {@link AcceptancePolicy} rejects a
+ * response or the tier fails.
+ *
+ * <p>
+ * The last tier's response is returned even if the policy rejects it. With a
+ * speculative delay, the next tier is started in parallel if the current one
+ * has not answered within that delay. Whichever result is needed is used; a
+ * call that is still running and no longer needed is cancelled by
+ * interrupting its thread, which aborts the provider's HTTP request.
+ *
+ * <p>
+ * Served responses carry the tier name under the {@code cascadeTier} metadata
+ * key.
+ */
+public class CascadeProvider implements LlmProvider {
+
+    public static final String TIER_METADATA_KEY = "cascadeTier";
+
+    /**
+     * A cascade step. If {@code config} is {@code null} the config passed to
+     * {@link #generate} is used.
+     */
+    public record Tier(String name, LlmProvider provider, LlmConfig config) {
+    }
+
+    private final List<Tier> tiers;
+    private final AcceptancePolicy policy;
+    private final Duration speculativeDelay;
+    private final ExecutorService executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder escalations = new LongAdder();
+    private final LongAdder speculativeStarts = new LongAdder();
+    private final LongAdder speculativeWasted = new LongAdder();
+    private final LongAdder[] servedByTier;
+
+    private CascadeProvider(List<Tier> tiers, AcceptancePolicy policy, Duration speculativeDelay) {
+        this.tiers = List.copyOf(tiers);
+        this.policy = policy;
+        this.speculativeDelay = speculativeDelay;
+        this.servedByTier = new LongAdder[tiers.size()];
+        for (int i = 0; i < servedByTier.length; i++) {
+            servedByTier[i] = new LongAdder();
+        }
+        this.executor = speculativeDelay == null ? null : Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "llm-cascade");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public LlmResponse generate(LlmRequest request, LlmConfig config) {
+        requests.increment();
+        return speculativeDelay == null ? generateSequential(request, config) : generateSpeculative(request, config);
+    }
+
+    public CascadeStats stats() {
+        Map<String, Long> served = new LinkedHashMap<>();
+        for (int i = 0; i < tiers.size(); i++) {
+            served.put(tiers.get(i).name(), servedByTier[i].sum());
+        }
+        return new CascadeStats(requests.sum(), escalations.sum(), speculativeStarts.sum(),
+                speculativeWasted.sum(), served);
+    }
+
+    private LlmResponse generateSequential(LlmRequest request, LlmConfig config) {
+        RuntimeException lastFailure = null;
+        for (int i = 0; i < tiers.size(); i++) {
+            try {
+                LlmResponse response = call(i, request, config);
+                if (isLast(i) || policy.accept(request, response))
+                    return served(i, response);
+            } catch (RuntimeException e) {
+                lastFailure = e;
+            }
+        }
+        throw failed(lastFailure);
+    }
+
+    private LlmResponse generateSpeculative(LlmRequest request, LlmConfig config) {
+        Future<LlmResponse> current = start(0, request, config);
+        Future<LlmResponse> next = null;
+        RuntimeException lastFailure = null;
+
+        try {
+            for (int i = 0; i < tiers.size(); i++) {
+                if (next == null && !isLast(i) && !awaitWithin(current, speculativeDelay)) {
+                    speculativeStarts.increment();
+                    next = start(i + 1, request, config);
+                }
+                try {
+                    LlmResponse response = join(current);
+                    if (isLast(i) || policy.accept(request, response)) {
+                        if (next != null)
+                            speculativeWasted.increment();
+                        return served(i, response);
+                    }
+                } catch (LlmException e) {
+                    if (Thread.currentThread().isInterrupted())
+                        throw e;
+                    lastFailure = e;
+                } catch (RuntimeException e) {
+                    lastFailure = e;
+                }
+                if (!isLast(i)) {
+                    current = next != null ? next : start(i + 1, request, config);
+                    next = null;
+                }
+            }
+            throw failed(lastFailure);
+        } finally {
+            // No-op for the call that produced the result; interrupts any call still running.
+            current.cancel(true);
+            if (next != null)
+                next.cancel(true);
+        }
+    }
+
+    private LlmResponse call(int tier, LlmRequest request, LlmConfig config) {
+        Tier t = tiers.get(tier);
+        return t.provider().generate(request, t.config() != null ? t.config() : config);
+    }
+
+    private Future<LlmResponse> start(int tier, LlmRequest request, LlmConfig config) {
+        return executor.submit(() -> call(tier, request, config));
+    }
+
+    private LlmResponse served(int tier, LlmResponse response) {
+        servedByTier[tier].increment();
+        if (tier > 0)
+            escalations.increment();
+        Map<String, Object> metadata = response.metadata() != null ? new HashMap<>(response.metadata())
+                : new HashMap<>();
+        metadata.put(TIER_METADATA_KEY, tiers.get(tier).name());
+        return new LlmResponse(response.text(), metadata, response.finishReason(), response.candidates());
+    }
+
+    private boolean isLast(int tier) {
+        return tier == tiers.size() - 1;
+    }
+
+    private static LlmException failed(RuntimeException lastFailure) {
+        if (lastFailure instanceof LlmException llmException)
+            return llmException;
+        return new LlmException("All cascade tiers failed", lastFailure);
+    }
+
+    private static boolean awaitWithin(Future<?> future, Duration delay) {
+        try {
+            future.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Interrupted while waiting for cascade tier", e);
+        }
+    }
+
+    private static LlmResponse join(Future<LlmResponse> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new LlmException("Cascade tier failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Interrupted while waiting for cascade tier", e);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<Tier> tiers = new ArrayList<>();
+        private AcceptancePolicy policy = AcceptancePolicy.notTruncated().and(AcceptancePolicy.minLength(1));
+        private Duration speculativeDelay;
+
+        public Builder tier(String name, LlmProvider provider) {
+            return tier(name, provider, null);
+        }
+
+        public Builder tier(String name, LlmProvider provider, LlmConfig config) {
+            this.tiers.add(new Tier(name, provider, config));
+            return this;
+        }
+
+        public Builder acceptWhen(AcceptancePolicy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        /**
+         * Starts the next tier in parallel if the current one has not answered
+         * within {@code delay}. Off by default.
+         */
+        public Builder speculativeDelay(Duration delay) {
+            this.speculativeDelay = delay;
+            return this;
+        }
+
+        public CascadeProvider build() {
+            if (tiers.isEmpty())
+                throw new LlmException("Cascade requires at least one tier.");
+            if (policy == null)
+                throw new LlmException("Cascade acceptance policy must be set.");
+            return new CascadeProvider(tiers, policy, speculativeDelay);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.llm.connector.routing;
+
+import java.util.Map;
+
+/**
+ * Snapshot of {@link CascadeProvider} counters.
+ *
+ * @param requests          Requests handled by the cascade.
+ * @param escalations       Requests not served by the first tier.
+ * @param speculativeStarts Next-tier calls started before the previous tier
+ *                          finished.
+ * @param speculativeWasted Speculative calls whose result was not used; any
+ *                          still running were cancelled.
+ * @param servedByTier      Requests answered by each tier, keyed by tier name.
+ */
+public record CascadeStats(
+        long requests,
+        long escalations,
+        long speculativeStarts,
+        long speculativeWasted,
+        Map<String, Long> servedByTier) {
+
+    public double escalationRate() {
+        return requests == 0 ? 0.0 : (double) escalations / requests;
+    }
+}
@@ -0,0 +1,249 @@
+package com.llm.connector.scheduler;
+
+import com.llm.connector.config.LlmConfig;
+import com.llm.connector.core.LlmProvider;
+import com.llm.connector.core.LlmRequest;
+import com.llm.connector.core.LlmResponse;
+import com.llm.connector.core.RequestPriority;
+import com.llm.connector.exception.DeadlineExceededException;
+import com.llm.connector.exception.LlmException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provider decorator that queues requests in front of another provider.
+ *
+ * <p>
+ * At most {@code maxInFlight} requests are sent concurrently. Queued requests
+ * are dispatched by {@link RequestPriority} first and earliest deadline second,
+ * so interactive traffic is not stuck behind batch work. Requests whose
+ * deadline has passed are dropped before they are sent, and the HTTP timeout
+ * of each dispatched request is capped at its remaining deadline.
+ */
+public class RequestScheduler implements LlmProvider, AutoCloseable {
+
+    private static final Comparator<Task> DISPATCH_ORDER = Comparator
+            .comparing((Task t) -> t.request.priority())
+            .thenComparing(t -> t.request.deadline() != null ? t.request.deadline() : Instant.MAX)
+            .thenComparingLong(t -> t.sequence);
+
+    private final LlmProvider delegate;
+    private final int maxInFlight;
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>(64, DISPATCH_ORDER);
+    private final Thread[] workers;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counters> counters = new EnumMap<>(RequestPriority.class);
+    private volatile boolean closed;
+
+    public RequestScheduler(LlmProvider delegate, int maxInFlight) {
+        if (delegate == null)
+            throw new LlmException("Scheduler requires a delegate provider.");
+        if (maxInFlight < 1)
+            throw new LlmException("maxInFlight must be at least 1.");
+        this.delegate = delegate;
+        this.maxInFlight = maxInFlight;
+        for (RequestPriority priority : RequestPriority.values()) {
+            counters.put(priority, new Counters());
+        }
+        this.workers = new Thread[maxInFlight];
+        for (int i = 0; i < maxInFlight; i++) {
+            Thread worker = new Thread(this::runWorker, "llm-scheduler-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers[i] = worker;
+        }
+    }
+
+    /**
+     * Queues the request and blocks until it completes. If the request has a
+     * deadline the caller stops waiting once it passes, and the queued work is
+     * cancelled so it is never sent.
+     */
+    @Override
+    public LlmResponse generate(LlmRequest request, LlmConfig config) {
+        CompletableFuture<LlmResponse> future = submit(request, config);
+        try {
+            if (request.deadline() == null) {
+                return future.get();
+            }
+            long remainingNanos = Duration.between(Instant.now(), request.deadline()).toNanos();
+            return future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new DeadlineExceededException("Request deadline exceeded while waiting for a response");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new LlmException("Interrupted while waiting for scheduled request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LlmException llmException)
+                throw llmException;
+            throw new LlmException("Scheduled request failed", e.getCause());
+        }
+    }
+
+    /**
+     * Queues the request without blocking. Completing or cancelling the returned
+     * future before the request is dispatched removes it from the queue, and it
+     * is counted as expired.
+     */
+    public CompletableFuture<LlmResponse> submit(LlmRequest request, LlmConfig config) {
+        if (closed)
+            throw new LlmException("Scheduler is closed.");
+        Task task = new Task(request, config, sequence.getAndIncrement(), System.nanoTime());
+        Counters c = counters.get(request.priority());
+        c.submitted.increment();
+        c.queued.incrementAndGet();
+        queue.add(task);
+        task.future.whenComplete((response, failure) -> {
+            // Only the caller can complete a task that no worker has taken yet.
+            if (!task.dispatched && queue.remove(task)) {
+                c.queued.decrementAndGet();
+                c.expired.increment();
+            }
+        });
+        return task.future;
+    }
+
+    public SchedulerStats stats() {
+        Map<RequestPriority, SchedulerStats.PriorityStats> byPriority = new EnumMap<>(RequestPriority.class);
+        int depth = 0;
+        for (Map.Entry<RequestPriority, Counters> entry : counters.entrySet()) {
+            Counters c = entry.getValue();
+            long waited = c.waited.sum();
+            Duration meanWait = waited == 0 ? Duration.ZERO : Duration.ofNanos(c.waitNanos.sum() / waited);
+            int queued = c.queued.get();
+            depth += queued;
+            byPriority.put(entry.getKey(), new SchedulerStats.PriorityStats(
+                    queued,
+                    c.submitted.sum(),
+                    c.completed.sum(),
+                    c.failed.sum(),
+                    c.expired.sum(),
+                    meanWait,
+                    Duration.ofNanos(c.maxWaitNanos.get())));
+        }
+        return new SchedulerStats(depth, inFlight.get(), maxInFlight, byPriority);
+    }
+
+    /**
+     * Stops the workers. Requests still queued fail with an {@link LlmException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        Task task;
+        while ((task = queue.poll()) != null) {
+            task.dispatched = true;
+            counters.get(task.request.priority()).queued.decrementAndGet();
+            task.future.completeExceptionally(new LlmException("Scheduler closed before request was sent."));
+        }
+    }
+
+    private void runWorker() {
+        while (!closed) {
+            Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            dispatch(task);
+        }
+    }
+
+    private void dispatch(Task task) {
+        task.dispatched = true;
+        Counters c = counters.get(task.request.priority());
+        c.queued.decrementAndGet();
+
+        if (task.future.isDone()) {
+            // Cancelled by the caller just as this worker took it from the queue.
+            c.expired.increment();
+            return;
+        }
+        c.recordWait(System.nanoTime() - task.enqueuedNanos);
+
+        LlmConfig config = task.config;
+        Instant deadline = task.request.deadline();
+        if (deadline != null) {
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                c.expired.increment();
+                task.future.completeExceptionally(
+                        new DeadlineExceededException("Request deadline passed before it was sent"));
+                return;
+            }
+            if (remaining.compareTo(config.timeout()) < 0) {
+                config = config.withTimeout(remaining);
+            }
+        }
+
+        // If the caller gave up while the request was in flight, the future is
+        // already done and the late result counts as expired.
+        inFlight.incrementAndGet();
+        try {
+            LlmResponse response = delegate.generate(task.request, config);
+            if (task.future.complete(response))
+                c.completed.increment();
+            else
+                c.expired.increment();
+        } catch (RuntimeException e) {
+            if (task.future.completeExceptionally(e))
+                c.failed.increment();
+            else
+                c.expired.increment();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static final class Task {
+        final LlmRequest request;
+        final LlmConfig config;
+        final long sequence;
+        final long enqueuedNanos;
+        final CompletableFuture<LlmResponse> future = new CompletableFuture<>();
+        volatile boolean dispatched;
+
+        Task(LlmRequest request, LlmConfig config, long sequence, long enqueuedNanos) {
+            this.request = request;
+            this.config = config;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private static final class Counters {
+        final AtomicInteger queued = new AtomicInteger();
+        final LongAdder submitted = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder expired = new LongAdder();
+        final LongAdder waited = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+
+        void recordWait(long nanos) {
+            waited.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.llm.connector.scheduler;
+
+import com.llm.connector.core.RequestPriority;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Point-in-time snapshot of a {@link RequestScheduler}.
+ */
+public record SchedulerStats(
+        int queueDepth,
+        int inFlight,
+        int maxInFlight,
+        Map<RequestPriority, PriorityStats> byPriority) {
+
+    /**
+     * Counters for a single priority class. Wait time is measured from submission
+     * until a worker picks the request up (or drops it as expired); requests
+     * cancelled while still queued are counted as expired but not timed.
+     */
+    public record PriorityStats(
+            int queued,
+            long submitted,
+            long completed,
+            long failed,
+            long expired,
+            Duration meanWait,
+            Duration maxWait) {
+    }
+}
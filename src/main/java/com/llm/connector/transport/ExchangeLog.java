@@ -0,0 +1,193 @@
+package com.llm.connector.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary file format for {@link RecordedExchange}s: a gzip stream holding a
+ * short header followed by length-prefixed records. The stream is flushed
+ * after every record, so a log cut off by a crash is still readable up to the
+ * last complete exchange.
+ *
+ * <p>
+ * Credentials are never written: API key headers and the {@code key} query
+ * parameter are replaced with {@value #REDACTED} before recording.
+ */
+public final class ExchangeLog {
+
+    static final String REDACTED = "REDACTED";
+
+    private static final int MAGIC = 0x4C4C4D58; // "LLMX"
+    private static final short VERSION = 1;
+    private static final byte RECORD = 1;
+    private static final Set<String> SECRET_HEADERS = Set.of("authorization", "x-api-key", "x-goog-api-key");
+    private static final Pattern KEY_PARAM = Pattern.compile("([?&]key=)[^&]*");
+
+    private ExchangeLog() {
+    }
+
+    /**
+     * Reads every complete exchange in the file, in recording order.
+     */
+    public static List<RecordedExchange> read(Path file) throws IOException {
+        List<RecordedExchange> exchanges = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Not an exchange log: " + file);
+            short version = in.readShort();
+            if (version != VERSION)
+                throw new IOException("Unsupported exchange log version " + version + ": " + file);
+            while (true) {
+                RecordedExchange exchange;
+                try {
+                    if (in.readByte() != RECORD)
+                        throw new IOException("Corrupt exchange log: " + file);
+                    exchange = readRecord(in);
+                } catch (EOFException e) {
+                    break; // end of log, or a record truncated by a crash
+                }
+                exchanges.add(exchange);
+            }
+        }
+        return exchanges;
+    }
+
+    /**
+     * Returns the request with credentials replaced, as it would be stored.
+     */
+    static TransportRequest redact(TransportRequest request) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        request.headers().forEach((name, value) -> headers.put(name,
+                SECRET_HEADERS.contains(name.toLowerCase()) ? REDACTED : value));
+        URI uri = URI.create(KEY_PARAM.matcher(request.uri().toString()).replaceAll("$1" + REDACTED));
+        return new TransportRequest(request.method(), uri, headers, request.body(), request.timeout());
+    }
+
+    static Writer open(Path file) throws IOException {
+        return new Writer(file);
+    }
+
+    static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private boolean closed;
+
+        private Writer(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(file), 8192, true)));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.flush();
+        }
+
+        synchronized void write(RecordedExchange exchange) throws IOException {
+            if (closed)
+                throw new IOException("Exchange log is closed");
+            TransportRequest request = exchange.request();
+            TransportResponse response = exchange.response();
+            out.writeByte(RECORD);
+            out.writeLong(exchange.startedAt().toEpochMilli());
+            out.writeLong(exchange.duration().toNanos());
+            out.writeUTF(request.method());
+            out.writeUTF(request.uri().toString());
+            out.writeLong(request.timeout() != null ? request.timeout().toMillis() : -1);
+            out.writeInt(request.headers().size());
+            for (Map.Entry<String, String> header : request.headers().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+            writeBytes(out, request.body() != null ? request.body().getBytes(StandardCharsets.UTF_8) : null);
+            out.writeInt(response.statusCode());
+            out.writeInt(response.headers().size());
+            for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeInt(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            writeBytes(out, response.body());
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (closed)
+                return;
+            closed = true;
+            out.close();
+        }
+    }
+
+    private static RecordedExchange readRecord(DataInputStream in) throws IOException {
+        Instant startedAt = Instant.ofEpochMilli(in.readLong());
+        Duration duration = Duration.ofNanos(in.readLong());
+        String method = in.readUTF();
+        URI uri = URI.create(in.readUTF());
+        long timeoutMillis = in.readLong();
+        int requestHeaderCount = in.readInt();
+        Map<String, String> requestHeaders = new LinkedHashMap<>();
+        for (int i = 0; i < requestHeaderCount; i++) {
+            requestHeaders.put(in.readUTF(), in.readUTF());
+        }
+        byte[] requestBody = readBytes(in);
+        int status = in.readInt();
+        int responseHeaderCount = in.readInt();
+        Map<String, List<String>> responseHeaders = new LinkedHashMap<>();
+        for (int i = 0; i < responseHeaderCount; i++) {
+            String name = in.readUTF();
+            int valueCount = in.readInt();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(in.readUTF());
+            }
+            responseHeaders.put(name, values);
+        }
+        byte[] responseBody = readBytes(in);
+
+        TransportRequest request = new TransportRequest(method, uri, requestHeaders,
+                requestBody != null ? new String(requestBody, StandardCharsets.UTF_8) : null,
+                timeoutMillis >= 0 ? Duration.ofMillis(timeoutMillis) : null);
+        TransportResponse response = new TransportResponse(status, responseHeaders,
+                responseBody != null ? responseBody : new byte[0]);
+        return new RecordedExchange(startedAt, duration, request, response);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length)
+            throw new EOFException();
+        return bytes;
+    }
+}
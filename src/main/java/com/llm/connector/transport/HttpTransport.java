@@ -0,0 +1,16 @@
+package com.llm.connector.transport;
+
+import java.io.IOException;
+
+/**
+ * Sends HTTP exchanges on behalf of the built-in providers.
+ *
+ * <p>
+ * The default is {@link JdkHttpTransport}; {@link RecordingTransport} and
+ * {@link ReplayTransport} capture and reproduce traffic without changing the
+ * provider code paths.
+ */
+@FunctionalInterface
+public interface HttpTransport {
+    TransportResponse send(TransportRequest request) throws IOException, InterruptedException;
+}
@@ -0,0 +1,37 @@
+package com.llm.connector.transport;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Transport backed by {@link java.net.http.HttpClient}.
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    private final HttpClient httpClient;
+
+    public JdkHttpTransport() {
+        this(HttpClient.newHttpClient());
+    }
+
+    public JdkHttpTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(request.uri())
+                .method(request.method(), request.body() != null
+                        ? HttpRequest.BodyPublishers.ofString(request.body())
+                        : HttpRequest.BodyPublishers.noBody());
+        request.headers().forEach(builder::header);
+        if (request.timeout() != null)
+            builder.timeout(request.timeout());
+
+        HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new TransportResponse(response.statusCode(), response.headers().map(), response.body());
+    }
+}
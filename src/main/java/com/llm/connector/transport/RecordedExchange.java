@@ -0,0 +1,14 @@
+package com.llm.connector.transport;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * One captured request/response pair and how long the response took.
+ */
+public record RecordedExchange(
+        Instant startedAt,
+        Duration duration,
+        TransportRequest request,
+        TransportResponse response) {
+}
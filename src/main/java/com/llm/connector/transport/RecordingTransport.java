@@ -0,0 +1,59 @@
+package com.llm.connector.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Transport that forwards requests to another transport and appends every
+ * completed exchange to an {@link ExchangeLog} file. Requests that fail with an
+ * I/O error are not recorded.
+ *
+ * <p>
+ * Recording never affects the live call: if writing the log fails (or the
+ * recorder has been closed) the failure is logged, recording stops so the file
+ * stays readable up to the last complete exchange, and the response is
+ * returned as usual.
+ */
+public class RecordingTransport implements HttpTransport, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingTransport.class);
+
+    private final HttpTransport delegate;
+    private final Path file;
+    private final ExchangeLog.Writer writer;
+    private volatile boolean stopped;
+
+    public RecordingTransport(HttpTransport delegate, Path file) throws IOException {
+        this.delegate = delegate;
+        this.file = file;
+        this.writer = ExchangeLog.open(file);
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException, InterruptedException {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        TransportResponse response = delegate.send(request);
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        if (!stopped) {
+            try {
+                writer.write(new RecordedExchange(startedAt, duration, ExchangeLog.redact(request), response));
+            } catch (IOException | RuntimeException e) {
+                stopped = true;
+                log.warn("Failed to record exchange to {}; recording stopped", file, e);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stopped = true;
+        writer.close();
+    }
+}
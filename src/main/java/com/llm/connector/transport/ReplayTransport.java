@@ -0,0 +1,66 @@
+package com.llm.connector.transport;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transport that answers requests from an {@link ExchangeLog} file without
+ * touching the network.
+ *
+ * <p>
+ * A request is matched on method, URI and body (after the same credential
+ * redaction used when recording). Identical requests receive their recorded
+ * responses in order; once those run out the last one is repeated, so a
+ * recorded log can drive a benchmark loop. With {@code reproduceTiming} each
+ * response is delayed by its recorded duration, and a recorded duration longer
+ * than the request timeout fails the same way a live call would.
+ */
+public class ReplayTransport implements HttpTransport {
+
+    private final Map<String, Deque<RecordedExchange>> exchanges = new HashMap<>();
+    private final boolean reproduceTiming;
+
+    public ReplayTransport(Path file, boolean reproduceTiming) throws IOException {
+        this(ExchangeLog.read(file), reproduceTiming);
+    }
+
+    public ReplayTransport(List<RecordedExchange> recorded, boolean reproduceTiming) {
+        this.reproduceTiming = reproduceTiming;
+        for (RecordedExchange exchange : recorded) {
+            exchanges.computeIfAbsent(key(exchange.request()), k -> new ArrayDeque<>()).add(exchange);
+        }
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException, InterruptedException {
+        String key = key(ExchangeLog.redact(request));
+        RecordedExchange exchange;
+        synchronized (exchanges) {
+            Deque<RecordedExchange> queue = exchanges.get(key);
+            if (queue == null)
+                throw new IOException("No recorded exchange for " + request.method() + " "
+                        + ExchangeLog.redact(request).uri());
+            exchange = queue.size() > 1 ? queue.poll() : queue.peek();
+        }
+
+        if (reproduceTiming) {
+            long delayNanos = exchange.duration().toNanos();
+            if (request.timeout() != null && request.timeout().toNanos() < delayNanos) {
+                Thread.sleep(request.timeout().toMillis());
+                throw new HttpTimeoutException("request timed out");
+            }
+            Thread.sleep(delayNanos / 1_000_000, (int) (delayNanos % 1_000_000));
+        }
+        return exchange.response();
+    }
+
+    private static String key(TransportRequest request) {
+        return request.method() + " " + request.uri() + "\n" + (request.body() != null ? request.body() : "");
+    }
+}
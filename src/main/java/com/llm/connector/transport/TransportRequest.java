@@ -0,0 +1,20 @@
+package com.llm.connector.transport;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * An outgoing HTTP request. Headers are kept in insertion order.
+ */
+public record TransportRequest(
+        String method,
+        URI uri,
+        Map<String, String> headers,
+        String body,
+        Duration timeout) {
+
+    public static TransportRequest post(URI uri, Map<String, String> headers, String body, Duration timeout) {
+        return new TransportRequest("POST", uri, headers, body, timeout);
+    }
+}
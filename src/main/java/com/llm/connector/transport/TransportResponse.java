@@ -0,0 +1,18 @@
+package com.llm.connector.transport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A received HTTP response with the body kept as raw bytes.
+ */
+public record TransportResponse(
+        int statusCode,
+        Map<String, List<String>> headers,
+        byte[] body) {
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
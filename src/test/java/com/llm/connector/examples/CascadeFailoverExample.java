@@ -0,0 +1,35 @@
+package com.llm.connector.examples;
+
+import com.llm.connector.config.LlmConfig;
+import com.llm.connector.core.LlmRequest;
+import com.llm.connector.core.LlmResponse;
+import com.llm.connector.provider.OllamaProvider;
+import com.llm.connector.routing.CascadeProvider;
+
+import java.util.Map;
+
+/**
+ * Checks that a cascade escalates when the first tier fails with an I/O
+ * error: tier 1 is Ollama on a port nothing listens on, tier 2 is a stub.
+ */
+public class CascadeFailoverExample {
+    public static void main(String[] args) {
+        LlmConfig unreachableOllama = new LlmConfig("http://127.0.0.1:1", "llama2", null, null, null);
+
+        CascadeProvider cascade = CascadeProvider.builder()
+                .tier("local", new OllamaProvider(), unreachableOllama)
+                .tier("fallback", (request, config) -> new LlmResponse("fallback answer", Map.of(), "stop"))
+                .build();
+
+        LlmResponse response = cascade.generate(LlmRequest.of("Hi!"), new LlmConfig(null, null, null, null, null));
+
+        System.out.println("Served by: " + response.metadata().get(CascadeProvider.TIER_METADATA_KEY));
+        System.out.println("Response: " + response.text());
+        System.out.println("Escalation rate: " + cascade.stats().escalationRate());
+
+        if (!"fallback".equals(response.metadata().get(CascadeProvider.TIER_METADATA_KEY)))
+            throw new IllegalStateException("Cascade did not escalate to the second tier");
+        if (Thread.currentThread().isInterrupted())
+            throw new IllegalStateException("Caller thread was left interrupted");
+    }
+}